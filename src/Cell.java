@@ -5,7 +5,8 @@
  * a position in the grid, an integer value from 1-9, a halfwidth, and a boolean state
  * indicating whether or not a cell is clickable. A cell is clickable if and only if
  * if it is an original value from the file. All other cells are able to be changed by
- * the player.
+ * the player. An empty cell can also hold pencil-mark notes, stored as a 9-bit mask
+ * where bit d - 1 is set if d is noted. Notes are only redrawn when they change.
  *
  **/
 
@@ -17,6 +18,15 @@ public class Cell {
     private double halfwidth;
     private boolean clickable;
 
+    // Pencil-mark notes as a 9-bit mask, and whether they need to be redrawn
+    private int notes;
+    private boolean notesChanged;
+
+    // Notes are drawn as small gray digits in a 3x3 layout inside the cell
+    private static final double NOTE_OFFSET = 0.3;
+    private static final double NOTE_FONT_SIZE = 9;
+    private static final double DEFAULT_FONT_SIZE = 16;
+
     // A constructor that instantiates and delegates information to each cell.
     public Cell(int x, int y, int val, double halfwidth, boolean clickable) {
         this.x = x;
@@ -75,5 +85,105 @@ public class Cell {
     public void setVal(int val) {
         this.val = val;
     }
-}
 
+    /**
+     * Inputs: N/A
+     * Outputs: An integer
+     * Description: Getter that returns the notes as a 9-bit mask.
+     */
+    public int getNotes() {
+        return notes;
+    }
+
+    /**
+     * Inputs: An integer from 1-9
+     * Outputs: A boolean
+     * Description: Checks if the given digit is noted in this cell.
+     */
+    public boolean hasNote(int digit) {
+        return (notes & (1 << (digit - 1))) != 0;
+    }
+
+    /**
+     * Inputs: An integer from 1-9
+     * Outputs: N/A
+     * Description: Adds the digit to the notes if it is not there, and removes it
+     *              if it is.
+     */
+    public void toggleNote(int digit) {
+        notes ^= 1 << (digit - 1);
+        notesChanged = true;
+    }
+
+    /**
+     * Inputs: An integer from 1-9
+     * Outputs: A boolean
+     * Description: Removes the digit from the notes. Returns true if the digit was
+     *              noted before.
+     */
+    public boolean removeNote(int digit) {
+        if (!hasNote(digit)) {
+            return false;
+        }
+        notes &= ~(1 << (digit - 1));
+        notesChanged = true;
+        return true;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Removes all notes. Returns true if there were any.
+     */
+    public boolean clearNotes() {
+        if (notes == 0) {
+            return false;
+        }
+        notes = 0;
+        notesChanged = true;
+        return true;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: N/A
+     * Description: Marks the notes as needing to be redrawn, for example after
+     *              something has been drawn over the cell.
+     */
+    public void markNotesChanged() {
+        notesChanged = true;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Checks if the notes have changed since they were last drawn.
+     */
+    public boolean notesChanged() {
+        return notesChanged;
+    }
+
+    /**
+     * Inputs: Two doubles representing the center of the cell on screen
+     * Outputs: N/A
+     * Description: Draws each noted digit in its own spot of a 3x3 layout, with 1
+     *              in the top left and 9 in the bottom right.
+     */
+    public void drawNotes(double centerX, double centerY) {
+        notesChanged = false;
+        if (notes == 0) {
+            return;
+        }
+        PennDraw.setPenColor(PennDraw.GRAY);
+        PennDraw.setFontSize(NOTE_FONT_SIZE);
+        for (int d = 0; d < 9; d++) {
+            if ((notes & (1 << d)) != 0) {
+                double noteX = centerX + (d % 3 - 1) * NOTE_OFFSET;
+                double noteY = centerY + (1 - d / 3) * NOTE_OFFSET;
+                PennDraw.text(noteX, noteY, "" + (d + 1));
+            }
+        }
+        PennDraw.setFontSize(DEFAULT_FONT_SIZE);
+        PennDraw.setPenColor();
+    }
+}
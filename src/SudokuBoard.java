@@ -6,10 +6,14 @@
  * in any given row, column, or 3x3 square. If a player inputs an illegal value (such
  * as repeated values), then the contradictory values are indicated in red and the
  * row, column, and/or 3x3 region where the issue occurs is highlighted. The sudoku
- * puzzle has one and only one solution.
+ * puzzle has one and only one solution. In notes mode, typing a digit adds or
+ * removes a pencil-mark note in the selected cell instead of filling it in.
  *
  **/
 
+import java.awt.Color;
+import java.io.IOException;
+
 public class SudokuBoard {
     // Each sudoku board has 9 rows and 9 columns
     public static final int NUM_ROWS = 9;
@@ -18,6 +22,11 @@ public class SudokuBoard {
     // Each board is a 2D Cell array
     private Cell[][] board;
 
+    // Whether typed digits become notes, and whether placing a digit removes that
+    // digit from the notes of every cell in the same row, column, and 3x3 square
+    private boolean notesMode = false;
+    private boolean autoPrune = true;
+
     /**
      * Constructor that instantiates and delegates information to a 9x9 sudoku board
      * that is passed in as a text file.
@@ -41,20 +50,64 @@ public class SudokuBoard {
         // Read in chars from text file and assign information to each cell in board
         for (int row = 0; row < NUM_ROWS; row++) {
             for (int col = 0; col < NUM_COLUMNS; col++) {
-                char a = in.readChar();
-                // If char is represented by a space value, then the cell is
-                if (a == ' ') {
-                    board[row][col] = new Cell(row, col, a, 0.5, true);
-                }
-                else {
-                    board[row][col] = new Cell(row, col, a - 48, 0.5, false);
-                }
+                board[row][col] = makeCell(row, col, in.readChar());
             }
             if (row < 8) {
                 in.readChar();
             }
         }
         in.close();
+
+        drawStatus();
+    }
+
+    /**
+     * Constructor that instantiates a 9x9 sudoku board from a file written by
+     * SudokuRater, using a puzzle picked at random from those tagged with the
+     * given difficulty (such as Easy or Hard).
+     */
+    public SudokuBoard(String ratedFile, String difficulty) {
+        String puzzle;
+        try {
+            puzzle = SudokuRater.pickPuzzle(ratedFile, difficulty);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Could not read " + ratedFile, e);
+        }
+        if (puzzle == null) {
+            throw new IllegalArgumentException("No puzzle tagged " + difficulty +
+                    " in " + ratedFile);
+        }
+
+        // Change x scale and y scale of coordinate grid
+        PennDraw.setXscale(-1, 9);
+        PennDraw.setYscale(-1, 9);
+
+        // Empty cells are written as '.' in the rated file
+        board = new Cell[NUM_ROWS][NUM_COLUMNS];
+        for (int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < NUM_COLUMNS; col++) {
+                char a = puzzle.charAt(row * NUM_COLUMNS + col);
+                board[row][col] = makeCell(row, col, a == '.' ? ' ' : a);
+            }
+        }
+
+        drawStatus();
+    }
+
+    /**
+     * Inputs: Two integers representing the row and column, and the char read for
+     *         that cell
+     * Outputs: A Cell
+     * Description: Makes the cell for a char from a puzzle. A space is an empty
+     *              cell that the player can fill in, and a digit is an original
+     *              value that can't be changed.
+     */
+    private Cell makeCell(int row, int col, char a) {
+        if (a == ' ') {
+            return new Cell(row, col, a, 0.5, true);
+        }
+        return new Cell(row, col, a - 48, 0.5, false);
     }
 
     /**
@@ -131,6 +184,10 @@ public class SudokuBoard {
                     PennDraw.text(col, (int) Math.abs(row - 8), "" +
                             board[row][col].getVal());
                 }
+                // Notes stay on screen between frames, so only redraw changed ones
+                else if (board[row][col].notesChanged()) {
+                    board[row][col].drawNotes(col, 8 - row);
+                }
             }
         }
 
@@ -148,6 +205,22 @@ public class SudokuBoard {
         PennDraw.line(-0.5, -0.5, -0.5, 8.5);
     }
 
+    /**
+     * Inputs: N/A
+     * Outputs: N/A
+     * Description: Shows below the board whether notes mode and automatic removal
+     *              of notes are on. Only called when one of them changes or the
+     *              screen is cleared, not on every frame.
+     */
+    private void drawStatus() {
+        // Erase the old status text before the new one is drawn
+        PennDraw.setPenColor(PennDraw.WHITE);
+        PennDraw.filledRectangle(4, -0.75, 4.5, 0.2);
+        PennDraw.setPenColor();
+        PennDraw.text(4, -0.75, "Notes: " + (notesMode ? "on" : "off") +
+                " (n)    Auto-remove notes: " + (autoPrune ? "on" : "off") + " (p)");
+    }
+
     /**
      * Inputs: N/A
      * Outputs: A boolean value
@@ -182,11 +255,118 @@ public class SudokuBoard {
             for (int col = 0; col < NUM_COLUMNS; col++) {
                 if (board[row][col].checkClick(mouseX, mouseY)) {
                     board[8 - col][row].setVal(s - 48);
+                    board[8 - col][row].clearNotes();
+                    if (autoPrune) {
+                        pruneNotes(8 - col, row, s - 48);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Inputs: Two doubles representing the x and y position of a mouse click and a
+     *         char that represents the number the user inputs
+     * Outputs: N/A
+     * Description: Adds the number as a note in the clicked cell, or removes it if
+     *              it is already noted. Cells that already have a value can't
+     *              have notes.
+     */
+    public void toggleNote(double mouseX, double mouseY, char s) {
+        for (int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < NUM_COLUMNS; col++) {
+                if (board[row][col].checkClick(mouseX, mouseY) &&
+                        board[8 - col][row].getVal() == ' ') {
+                    // Erase the old notes so every note is redrawn on a clean
+                    // cell. The cell being noted is the highlighted one, so it is
+                    // erased in yellow to keep it highlighted.
+                    eraseNotes(8 - col, row, PennDraw.YELLOW);
+                    board[8 - col][row].toggleNote(s - 48);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inputs: Two integers representing the row and column of a placed number, and
+     *         the number itself
+     * Outputs: N/A
+     * Description: Removes the number from the notes of every cell in the same row,
+     *              column, and 3x3 square, since it can no longer go there.
+     */
+    public void pruneNotes(int row, int col, int val) {
+        for (int c = 0; c < NUM_COLUMNS; c++) {
+            if (board[row][c].removeNote(val)) {
+                eraseNotes(row, c, PennDraw.WHITE);
+            }
+        }
+        for (int r = 0; r < NUM_ROWS; r++) {
+            if (board[r][col].removeNote(val)) {
+                eraseNotes(r, col, PennDraw.WHITE);
+            }
+        }
+        int localSquareRow = row - (row % 3);
+        int localSquareCol = col - (col % 3);
+        for (int r = localSquareRow; r < localSquareRow + 3; r++) {
+            for (int c = localSquareCol; c < localSquareCol + 3; c++) {
+                if (board[r][c].removeNote(val)) {
+                    eraseNotes(r, c, PennDraw.WHITE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inputs: Two integers representing the row and column and the background color
+     * Outputs: N/A
+     * Description: Paints over a cell's notes so the remaining ones can be redrawn
+     *              on the next frame.
+     */
+    private void eraseNotes(int row, int col, Color color) {
+        PennDraw.setPenColor(color);
+        PennDraw.filledSquare(col, 8 - row, 0.5);
+        PennDraw.setPenColor();
+        board[row][col].markNotesChanged();
+    }
+
+    /**
+     * Inputs: Two integers representing the row and column
+     * Outputs: An integer
+     * Description: Returns the notes of a cell as a 9-bit mask.
+     */
+    public int getNotes(int row, int col) {
+        return board[row][col].getNotes();
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: N/A
+     * Description: Switches between entering numbers and entering notes.
+     */
+    public void toggleNotesMode() {
+        notesMode = !notesMode;
+        drawStatus();
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Getter that returns whether notes mode is on.
+     */
+    public boolean isNotesMode() {
+        return notesMode;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: N/A
+     * Description: Turns automatic removal of notes from peer cells on or off.
+     */
+    public void toggleAutoPrune() {
+        autoPrune = !autoPrune;
+        drawStatus();
+    }
+
     /**
      * Inputs: Two doubles representing the position of a mouse's cursor.
      * Outputs: N/A
@@ -198,6 +378,7 @@ public class SudokuBoard {
             for (int col = 0; col < NUM_COLUMNS; col++) {
                 if (board[row][col].checkClick(mouseX, mouseY)) {
                     board[8 - col][row].setVal(' ');
+                    board[8 - col][row].clearNotes();
                     PennDraw.filledSquare(row, col, 0.5);
                 }
             }
@@ -228,6 +409,7 @@ public class SudokuBoard {
             for (int col = 0; col < NUM_COLUMNS; col++) {
                 if (board[row][col].checkClick(mouseX, mouseY)) {
                     PennDraw.filledSquare(row, col, 0.5);
+                    board[8 - col][row].markNotesChanged();
                 }
             }
         }
@@ -245,6 +427,7 @@ public class SudokuBoard {
             for (int col = 0; col < NUM_COLUMNS; col++) {
                 if (board[row][col].checkClick(mouseX, mouseY)) {
                     PennDraw.filledSquare(row, col, 0.5);
+                    board[8 - col][row].markNotesChanged();
                 }
             }
         }
@@ -378,6 +561,7 @@ public class SudokuBoard {
         PennDraw.setPenColor(PennDraw.YELLOW);
         for (int col = 0; col < NUM_COLUMNS; col++) {
             PennDraw.filledSquare(col, 8 - row, 0.5);
+            board[row][col].markNotesChanged();
         }
         PennDraw.setPenColor();
     }
@@ -391,6 +575,7 @@ public class SudokuBoard {
         PennDraw.setPenColor(PennDraw.YELLOW);
         for (int row = 0; row < NUM_ROWS; row++) {
             PennDraw.filledSquare(col, 8 - row, 0.5);
+            board[row][col].markNotesChanged();
         }
         PennDraw.setPenColor();
     }
@@ -407,6 +592,7 @@ public class SudokuBoard {
         for (int r = localSquareRow; r < localSquareRow + 3; r++) {
             for (int c = localSquareCol; c < localSquareCol + 3; c++) {
                 PennDraw.filledSquare(c, 8 - r, 0.5);
+                board[r][c].markNotesChanged();
             }
         }
         PennDraw.setPenColor();
@@ -456,7 +642,13 @@ public class SudokuBoard {
      */
     public void clearHighlights() {
         PennDraw.clear();
+        for (int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < NUM_COLUMNS; col++) {
+                board[row][col].markNotesChanged();
+            }
+        }
         drawBoard();
+        drawStatus();
     }
 
     /**
@@ -477,7 +669,8 @@ public class SudokuBoard {
     /**
      * Inputs: N/A
      * Outputs: N/A
-     * Description: Clears all numbers inputted by user if space bar is pressed.
+     * Description: Clears all numbers and notes inputted by user if space bar is
+     *              pressed.
      */
     public void clearAllNumbers() {
         PennDraw.setPenColor(PennDraw.WHITE);
@@ -490,6 +683,15 @@ public class SudokuBoard {
             }
         }
         PennDraw.setPenColor();
+
+        // Clear notes separately, since erasing them resets the pen color
+        for (int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < NUM_COLUMNS; col++) {
+                if (board[row][col].clearNotes()) {
+                    eraseNotes(row, col, PennDraw.WHITE);
+                }
+            }
+        }
     }
 
 }
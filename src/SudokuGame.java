@@ -1,9 +1,12 @@
 /**
- * Execution: java SudokuGame filename
+ * Execution: java SudokuGame filename [difficulty]
  *
  * Description: Represents the Sudoku game. Takes a level description text file and
  * initializes a sudoku board that the player can interact with. The program runs the
- * game until the user wins.
+ * game until the user wins. If a difficulty is also given, the file is instead one
+ * written by SudokuRater, and the game starts on a random puzzle with that tag.
+ * Pressing n switches between entering numbers and pencil-mark notes, and pressing
+ * p turns automatic removal of notes on or off.
  *
  **/
 
@@ -13,18 +16,31 @@ public class SudokuGame {
          * Instantiate a sudoku board with the name of a level description file
          * passed in via command line argument
          */
-        SudokuBoard board = new SudokuBoard(args[0]);
+        SudokuBoard board;
+        if (args.length > 1) {
+            // Pick a puzzle of the given difficulty from a SudokuRater output file
+            board = new SudokuBoard(args[0], args[1]);
+        }
+        else {
+            board = new SudokuBoard(args[0]);
+        }
 
         boolean isPlaying = true;
         double mouseX = 0.0;
         double mouseY = 0.0;
+        boolean wasPressed = false;
 
         // If the player has not won, keep the game running
         while (isPlaying) {
             // Draws the updated board and its components
             board.drawBoard();
 
-            if (PennDraw.mousePressed()) {
+            /**
+             * Only handle a click when the button first goes down, so holding it
+             * doesn't clear and redraw the whole board on every frame
+             */
+            boolean isPressed = PennDraw.mousePressed();
+            if (isPressed && !wasPressed) {
                 // Stores the x and y values of the mouse cursor's position
                 mouseX = PennDraw.mouseX();
                 mouseY = PennDraw.mouseY();
@@ -37,6 +53,7 @@ public class SudokuGame {
                     board.highlightCellClicked(mouseX, mouseY);
                 }
             }
+            wasPressed = isPressed;
 
             /**
              * Store the value of the row and column of the cell at the mouse
@@ -55,25 +72,31 @@ public class SudokuGame {
                  * to be clicked on
                  */
                 if (board.isValidInput(s) && board.isClickable(mouseX, mouseY)) {
-                    board.unhighlightCellClicked(mouseX, mouseY);
-                    board.updateCell(mouseX, mouseY, s);
-
-                    // Highlight row if number appears more than once in row
-                    if (board.isInRow(row, s)) {
-                        board.highlightRow(row);
+                    // In notes mode, the number is noted instead of filled in
+                    if (board.isNotesMode()) {
+                        board.toggleNote(mouseX, mouseY, s);
                     }
-                    // Highlight column if number appears more than once in column
-                    if (board.isInColumn(col, s)) {
-                        board.highlightColumn(col);
-                    }
-                    // Highlight 3x3 grid if number appears more than once in grid
-                    if (board.isInLocalSquare(row, col, s)) {
-                        board.highlightLocalBox(row, col);
-                    }
-                    // Highlight the contradictory values in red
-                    if (board.isInRow(row, s) || board.isInColumn(col, s) ||
-                            board.isInLocalSquare(row, col, s)) {
-                        board.markContradictoryValue(row, col, s);
+                    else {
+                        board.unhighlightCellClicked(mouseX, mouseY);
+                        board.updateCell(mouseX, mouseY, s);
+
+                        // Highlight row if number appears more than once in row
+                        if (board.isInRow(row, s)) {
+                            board.highlightRow(row);
+                        }
+                        // Highlight column if number appears more than once in it
+                        if (board.isInColumn(col, s)) {
+                            board.highlightColumn(col);
+                        }
+                        // Highlight 3x3 grid if number appears more than once in it
+                        if (board.isInLocalSquare(row, col, s)) {
+                            board.highlightLocalBox(row, col);
+                        }
+                        // Highlight the contradictory values in red
+                        if (board.isInRow(row, s) || board.isInColumn(col, s) ||
+                                board.isInLocalSquare(row, col, s)) {
+                            board.markContradictoryValue(row, col, s);
+                        }
                     }
                 }
 
@@ -85,6 +108,14 @@ public class SudokuGame {
                 if (s == 32) {
                     board.clearAllNumbers();
                 }
+                // If n is pressed, switch between entering numbers and notes
+                if (s == 'n') {
+                    board.toggleNotesMode();
+                }
+                // If p is pressed, turn automatic removal of peer notes on or off
+                if (s == 'p') {
+                    board.toggleAutoPrune();
+                }
             }
 
             /**
@@ -0,0 +1,501 @@
+/**
+ * Execution: java SudokuRater inputFile outputFile [threads]
+ *
+ * Description: Grades every puzzle in a file by how hard it is for a person to
+ * solve. The input may hold puzzles in the same 9-line layout as SudokuExample.txt,
+ * or one puzzle per line as 81 characters ('.', '0' or a space for empty cells).
+ * Puzzles are read one at a time and rated by a pool of threads, so even very large
+ * files never have to fit in memory. Each puzzle is solved with SudokuSolver, and
+ * its difficulty comes from the hardest technique it needs. The most recently used
+ * ratings are cached, so a puzzle that shows up again soon is only solved once.
+ * The cache has a fixed size, so memory use doesn't grow with the file. The output
+ * has one line per puzzle, in input order, tagged with its difficulty. The game
+ * can then start on a puzzle of a chosen level with java SudokuGame ratedFile
+ * difficulty.
+ *
+ **/
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SudokuRater {
+    // Difficulty tag given to puzzles that are malformed or don't have exactly one
+    // solution
+    public static final String INVALID = "Invalid";
+
+    // Each row of a 9-line puzzle holds 9 cells
+    private static final int ROW_LENGTH = 9;
+
+    // How many puzzles each thread may have waiting before reading pauses
+    private static final int PUZZLES_PER_THREAD = 64;
+
+    // How many ratings the cache holds before dropping the least recently used
+    public static final int CACHE_SIZE = 100000;
+
+    /**
+     * The rating of a single puzzle: its difficulty tag, the hardest technique it
+     * needed, the number of steps and the total technique cost.
+     */
+    public static class Rating {
+        private final String puzzle;
+        private final String difficulty;
+        private final String hardest;
+        private final int steps;
+        private final int score;
+
+        // A constructor that stores every part of a rating
+        public Rating(String puzzle, String difficulty, String hardest, int steps,
+                      int score) {
+            this.puzzle = puzzle;
+            this.difficulty = difficulty;
+            this.hardest = hardest;
+            this.steps = steps;
+            this.score = score;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Getter that returns the puzzle that was rated.
+         */
+        public String getPuzzle() {
+            return puzzle;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Getter that returns the difficulty tag.
+         */
+        public String getDifficulty() {
+            return difficulty;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Getter that returns the name of the hardest technique used.
+         */
+        public String getHardest() {
+            return hardest;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: An integer
+         * Description: Getter that returns the number of steps the solve took.
+         */
+        public int getSteps() {
+            return steps;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: An integer
+         * Description: Getter that returns the score of the solve.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Formats the rating as one tab-separated output line.
+         */
+        public String toLine() {
+            return puzzle + "\t" + difficulty + "\t" + hardest + "\t" + steps +
+                    "\t" + score;
+        }
+    }
+
+    // Recently worked out ratings, keyed by puzzle, in least recently used order
+    private final Map<String, Rating> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, Rating>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Rating> e) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    // Number of puzzles rated, and how many of those came from the cache
+    private final AtomicInteger rated = new AtomicInteger();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+
+    /**
+     * Inputs: An 81-character puzzle
+     * Outputs: A Rating
+     * Description: Rates a puzzle, reusing the cached rating if it has been seen
+     *              recently. Safe to call from several threads at once.
+     */
+    public Rating rate(String puzzle) {
+        rated.incrementAndGet();
+        String key = normalize(puzzle);
+        Rating cached = cache.get(key);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+        // Solve outside the map so slow puzzles don't hold up other threads. Two
+        // threads may race on the same new puzzle, but both get the same rating.
+        Rating rating = solveAndRate(key);
+        Rating previous = cache.putIfAbsent(key, rating);
+        return previous == null ? rating : previous;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: An integer
+     * Description: Returns how many puzzles have been rated so far.
+     */
+    public int getRated() {
+        return rated.get();
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: An integer
+     * Description: Returns how many ratings were answered from the cache.
+     */
+    public int getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Inputs: Input and output file names and the number of threads to use
+     * Outputs: A map from difficulty tag to the number of puzzles with that tag
+     * Description: Reads puzzles from the input file, rates them in parallel and
+     *              writes one tagged line per puzzle to the output file, in the
+     *              same order as the input.
+     */
+    public Map<String, Integer> rateFile(String inputFile, String outputFile,
+                                         int threads) throws IOException {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<Rating>> pending = new ArrayDeque<>();
+        int window = threads * PUZZLES_PER_THREAD;
+
+        try (BufferedReader in = new BufferedReader(new FileReader(inputFile));
+             BufferedWriter out = new BufferedWriter(new FileWriter(outputFile))) {
+            Iterator<String> puzzles = new PuzzleReader(in);
+            while (puzzles.hasNext()) {
+                String puzzle = puzzles.next();
+                pending.add(pool.submit(() -> rate(puzzle)));
+                // Write the oldest result once enough puzzles are in flight
+                if (pending.size() >= window) {
+                    write(pending.poll(), out, counts);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), out, counts);
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        return counts;
+    }
+
+    /**
+     * Inputs: A pending rating, the output writer and the running counts
+     * Outputs: N/A
+     * Description: Waits for a rating to finish, then writes and counts it.
+     */
+    private static void write(Future<Rating> future, BufferedWriter out,
+                              Map<String, Integer> counts) throws IOException {
+        Rating rating;
+        try {
+            rating = future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Rating was interrupted", e);
+        }
+        catch (ExecutionException e) {
+            throw new IOException("Rating failed", e.getCause());
+        }
+        out.write(rating.toLine());
+        out.newLine();
+        counts.merge(rating.getDifficulty(), 1, Integer::sum);
+    }
+
+    /**
+     * Inputs: An 81-character puzzle
+     * Outputs: A Rating
+     * Description: Runs the human-technique solver on a puzzle and turns the
+     *              result into a rating. Puzzles with no solution, or with more
+     *              than one, are tagged Invalid.
+     */
+    public static Rating solveAndRate(String puzzle) {
+        if (puzzle.length() != SudokuSolver.NUM_CELLS) {
+            return new Rating(puzzle, INVALID, "-", 0, 0);
+        }
+        SudokuSolver solver = new SudokuSolver(puzzle);
+        if (!solver.solve()) {
+            return new Rating(puzzle, INVALID, "-", solver.getSteps(),
+                    solver.getScore());
+        }
+        SudokuSolver.Technique hardest = solver.getHardest();
+        if (hardest == null) {
+            // The grid was already full, so there is nothing to solve
+            return new Rating(puzzle, SudokuSolver.Technique.NAKED_SINGLE
+                    .getDifficulty(), "-", 0, 0);
+        }
+        return new Rating(puzzle, hardest.getDifficulty(), hardest.getLabel(),
+                solver.getSteps(), solver.getScore());
+    }
+
+    /**
+     * Inputs: The name of a file written by rateFile, and a difficulty tag
+     * Outputs: A String
+     * Description: Picks one puzzle at random from those tagged with the given
+     *              difficulty, ignoring case. Reads the file once and keeps
+     *              only the current pick, so the file can be any size. Returns
+     *              null if no puzzle has that tag.
+     */
+    public static String pickPuzzle(String ratedFile, String difficulty)
+            throws IOException {
+        String picked = null;
+        int matches = 0;
+        try (BufferedReader in = new BufferedReader(new FileReader(ratedFile))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length > 1 && fields[1].equalsIgnoreCase(difficulty) &&
+                        fields[0].length() == SudokuSolver.NUM_CELLS) {
+                    // The k-th match replaces the pick with chance 1/k, which
+                    // leaves every match equally likely to be picked
+                    matches++;
+                    if (Math.random() * matches < 1) {
+                        picked = fields[0];
+                    }
+                }
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Inputs: A puzzle string
+     * Outputs: A String
+     * Description: Rewrites a puzzle so every empty cell is a '.', which lets the
+     *              same puzzle written in different ways share one cache entry.
+     */
+    public static String normalize(String puzzle) {
+        StringBuilder sb = new StringBuilder(puzzle.length());
+        for (int i = 0; i < puzzle.length(); i++) {
+            char c = puzzle.charAt(i);
+            sb.append(c >= '1' && c <= '9' ? c : '.');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads puzzles one at a time from a text file. Trailing whitespace is ignored
+     * when sorting lines. A line of at most 9 characters is one row of a 9-line
+     * puzzle, padded with spaces to 9 characters, since editors often drop
+     * trailing spaces. A line that was written 81 characters long is a whole
+     * puzzle. Any other line is passed on by itself and gets tagged Invalid, so
+     * one bad line can't swallow the lines around it. Empty lines right after a
+     * whole puzzle are separators and are skipped. Anywhere else, including the
+     * top of the file, an empty line is a row of blanks. A line of spaces is
+     * always a row of blanks. A puzzle that is cut short is passed on as it is,
+     * with a warning, and gets tagged Invalid.
+     */
+    private static class PuzzleReader implements Iterator<String> {
+        private final BufferedReader in;
+        private String next;
+
+        // Whether the last thing read was a whole puzzle, so empty lines that
+        // follow it are separators
+        private boolean afterPuzzle = false;
+
+        // The number of the last line read, for warnings
+        private int lineNumber = 0;
+
+        // A line that ended a 9-line puzzle early, to be read again next time
+        private String pushedBack = null;
+
+        // A constructor that reads puzzles from the given reader
+        PuzzleReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A boolean
+         * Description: Checks if there is another puzzle, reading it ahead if
+         *              needed.
+         */
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readPuzzle();
+            }
+            return next != null;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Returns the next puzzle as 81 characters.
+         */
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String puzzle = next;
+            next = null;
+            return puzzle;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Returns the next puzzle as 81 characters, or null once the
+         *              file has run out. Malformed lines and cut short 9-line
+         *              puzzles are returned as they are.
+         */
+        private String readPuzzle() {
+            StringBuilder rows = new StringBuilder(SudokuSolver.NUM_CELLS);
+            int numRows = 0;
+            int emptyRows = 0;
+            try {
+                String line;
+                while ((line = readLine()) != null) {
+                    String row = line.stripTrailing();
+                    if (numRows == 0 && afterPuzzle &&
+                            (line.isEmpty() || line.equals("\r"))) {
+                        continue;
+                    }
+                    if (row.length() > ROW_LENGTH) {
+                        // Too long to be a row, so this line ends any 9-line
+                        // puzzle in progress and is read again next time
+                        if (numRows > emptyRows) {
+                            pushedBack = line;
+                            lineNumber--;
+                            afterPuzzle = false;
+                            warnCutShort();
+                            return rows.toString();
+                        }
+                        afterPuzzle = true;
+                        return toPuzzle(line, row);
+                    }
+                    afterPuzzle = false;
+                    if (row.isEmpty()) {
+                        emptyRows++;
+                    }
+                    rows.append(row);
+                    for (int i = row.length(); i < ROW_LENGTH; i++) {
+                        rows.append(' ');
+                    }
+                    numRows++;
+                    if (numRows == ROW_LENGTH) {
+                        afterPuzzle = true;
+                        return rows.toString();
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new IllegalStateException("Could not read puzzle file", e);
+            }
+            // Trailing empty lines are not a puzzle
+            if (numRows == emptyRows) {
+                return null;
+            }
+            warnCutShort();
+            return rows.toString();
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: N/A
+         * Description: Warns that a 9-line puzzle ended early. This usually means
+         *              a blank top row was saved as an empty line right after
+         *              another puzzle, where it reads as a separator instead.
+         */
+        private void warnCutShort() {
+            System.out.println("Warning: 9-line puzzle ending at line " +
+                    lineNumber + " is cut short");
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Returns the line that was pushed back, if there is one,
+         *              and otherwise the next line of the file.
+         */
+        private String readLine() throws IOException {
+            if (pushedBack != null) {
+                String line = pushedBack;
+                pushedBack = null;
+                lineNumber++;
+                return line;
+            }
+            String line = in.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        }
+
+        /**
+         * Inputs: A line as read, and the same line without trailing whitespace
+         * Outputs: A String
+         * Description: Turns a line that is too long to be a row into a puzzle.
+         *              If the line was at least 81 characters before trimming, the
+         *              trailing spaces were empty cells (or padding), so it is
+         *              padded back to 81. Anything else is returned unchanged.
+         */
+        private static String toPuzzle(String line, String row) {
+            if (line.length() < SudokuSolver.NUM_CELLS ||
+                    row.length() > SudokuSolver.NUM_CELLS) {
+                return row;
+            }
+            StringBuilder puzzle = new StringBuilder(row);
+            while (puzzle.length() < SudokuSolver.NUM_CELLS) {
+                puzzle.append(' ');
+            }
+            return puzzle.toString();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String inputFile = args[0];
+        String outputFile = args[1];
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length > 2) {
+            threads = Integer.parseInt(args[2]);
+        }
+
+        SudokuRater rater = new SudokuRater();
+        long start = System.nanoTime();
+        Map<String, Integer> counts = rater.rateFile(inputFile, outputFile, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Report how many puzzles were rated, how fast, and how they were spread
+        System.out.println("Rated " + rater.getRated() + " puzzles in " +
+                String.format("%.2f", seconds) + " s (" +
+                String.format("%.0f", rater.getRated() / seconds) +
+                " puzzles/s) on " + threads + " threads");
+        System.out.println("Cache hits: " + rater.getCacheHits());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,663 @@
+/**
+ * Execution: java SudokuSolver puzzle
+ *
+ * Description: Solves a sudoku puzzle the way a person would, one technique at a
+ * time, and records which techniques were needed. Every empty cell keeps a 9-bit
+ * mask of the digits that can still go there. On each step the solver applies the
+ * cheapest technique that makes progress, then starts over from the cheapest one.
+ * If no technique applies, the solver guesses one cell and goes back to the human
+ * techniques. The hardest technique used and the number of steps taken are what
+ * SudokuRater grades on.
+ *
+ **/
+
+public class SudokuSolver {
+    // A puzzle is stored as 81 cells, read row by row
+    public static final int NUM_CELLS = 81;
+
+    // A mask with all nine digits still possible
+    public static final int ALL_DIGITS = 0x1FF;
+
+    // Score added per level of the hardest technique, larger than any total of
+    // step costs, so a puzzle never scores below one that needs easier techniques
+    public static final int LEVEL_WEIGHT = 10000;
+
+    /**
+     * The solving techniques, from cheapest to most expensive. Each technique has
+     * a cost that is added to the score every time it is used, and the difficulty
+     * label a puzzle gets when it is the hardest technique the puzzle needs.
+     */
+    public enum Technique {
+        NAKED_SINGLE("Naked Single", 1, "Easy"),
+        HIDDEN_SINGLE("Hidden Single", 2, "Easy"),
+        LOCKED_CANDIDATES("Locked Candidates", 5, "Medium"),
+        NAKED_PAIR("Naked Pair", 8, "Medium"),
+        HIDDEN_PAIR("Hidden Pair", 12, "Hard"),
+        X_WING("X-Wing", 20, "Hard"),
+        TRIAL_AND_ERROR("Trial and Error", 50, "Expert");
+
+        private final String label;
+        private final int cost;
+        private final String difficulty;
+
+        // A constructor that stores a technique's name, cost and difficulty
+        Technique(String label, int cost, String difficulty) {
+            this.label = label;
+            this.cost = cost;
+            this.difficulty = difficulty;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Getter that returns the name of the technique.
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: An integer
+         * Description: Getter that returns the cost added per use.
+         */
+        public int getCost() {
+            return cost;
+        }
+
+        /**
+         * Inputs: N/A
+         * Outputs: A String
+         * Description: Getter that returns the difficulty tag.
+         */
+        public String getDifficulty() {
+            return difficulty;
+        }
+    }
+
+    // The 27 units (9 rows, 9 columns, 9 boxes), each a list of 9 cell indices
+    private static final int[][] UNITS = new int[27][9];
+
+    // The 20 peers of each cell, meaning the cells that share a unit with it
+    private static final int[][] PEERS = new int[NUM_CELLS][20];
+
+    static {
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                UNITS[i][j] = i * 9 + j;
+                UNITS[9 + i][j] = j * 9 + i;
+                UNITS[18 + i][j] = (i / 3 * 3 + j / 3) * 9 + (i % 3 * 3 + j % 3);
+            }
+        }
+        for (int cell = 0; cell < NUM_CELLS; cell++) {
+            int count = 0;
+            for (int other = 0; other < NUM_CELLS; other++) {
+                if (other != cell && (row(other) == row(cell) ||
+                        col(other) == col(cell) || box(other) == box(cell))) {
+                    PEERS[cell][count] = other;
+                    count++;
+                }
+            }
+        }
+    }
+
+    // Digits placed so far (0 means empty) and candidate masks of each cell
+    private final int[] values = new int[NUM_CELLS];
+    private final int[] candidates = new int[NUM_CELLS];
+
+    // Bookkeeping for the rating
+    private final int[] uses = new int[Technique.values().length];
+    private Technique hardest = null;
+    private int steps = 0;
+    private int score = 0;
+
+    // The solution found by search, used to make each trial-and-error guess
+    private int[] solution = null;
+
+    /**
+     * Constructor that loads an 81-character puzzle. Digits 1-9 are givens, and
+     * any other character ('.', '0' or a space) is an empty cell.
+     */
+    public SudokuSolver(String puzzle) {
+        if (puzzle.length() != NUM_CELLS) {
+            throw new IllegalArgumentException("Puzzle must have 81 characters");
+        }
+        for (int i = 0; i < NUM_CELLS; i++) {
+            candidates[i] = ALL_DIGITS;
+        }
+        for (int i = 0; i < NUM_CELLS; i++) {
+            char c = puzzle.charAt(i);
+            if (c >= '1' && c <= '9') {
+                place(i, c - '0');
+            }
+        }
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Solves the puzzle, keeping track of every technique used.
+     *              Returns false if the puzzle has no solution, or more than one.
+     */
+    public boolean solve() {
+        if (hasContradiction() || !findSolution()) {
+            return false;
+        }
+        while (true) {
+            if (isSolved()) {
+                return true;
+            }
+            if (nakedSingle()) {
+                record(Technique.NAKED_SINGLE);
+            }
+            else if (hiddenSingle()) {
+                record(Technique.HIDDEN_SINGLE);
+            }
+            else if (lockedCandidates()) {
+                record(Technique.LOCKED_CANDIDATES);
+            }
+            else if (nakedPair()) {
+                record(Technique.NAKED_PAIR);
+            }
+            else if (hiddenPair()) {
+                record(Technique.HIDDEN_PAIR);
+            }
+            else if (xWing()) {
+                record(Technique.X_WING);
+            }
+            else {
+                // No human technique applies, so guess one cell and carry on
+                guess();
+                record(Technique.TRIAL_AND_ERROR);
+            }
+        }
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A Technique
+     * Description: Getter that returns the hardest technique used, or null if the
+     *              puzzle was already full.
+     */
+    public Technique getHardest() {
+        return hardest;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: An integer
+     * Description: Getter that returns the number of steps the solve took.
+     */
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: An integer
+     * Description: Returns the score of the solve: the total cost of every step
+     *              taken, plus LEVEL_WEIGHT for each level of the hardest technique.
+     */
+    public int getScore() {
+        if (hardest == null) {
+            return score;
+        }
+        return hardest.ordinal() * LEVEL_WEIGHT + score;
+    }
+
+    /**
+     * Inputs: A Technique
+     * Outputs: An integer
+     * Description: Returns how many times the given technique was used.
+     */
+    public int getUses(Technique t) {
+        return uses[t.ordinal()];
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A String
+     * Description: Returns the grid as 81 characters, with '.' for empty cells.
+     */
+    public String getGrid() {
+        StringBuilder sb = new StringBuilder(NUM_CELLS);
+        for (int i = 0; i < NUM_CELLS; i++) {
+            sb.append(values[i] == 0 ? '.' : (char) ('0' + values[i]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Inputs: A Technique
+     * Outputs: N/A
+     * Description: Counts one step with the given technique.
+     */
+    private void record(Technique t) {
+        uses[t.ordinal()]++;
+        steps++;
+        score += t.getCost();
+        if (hardest == null || t.ordinal() > hardest.ordinal()) {
+            hardest = t;
+        }
+    }
+
+    /**
+     * Inputs: An integer cell index and a digit
+     * Outputs: N/A
+     * Description: Places a digit and removes it from the candidates of its peers.
+     */
+    private void place(int cell, int digit) {
+        int bit = 1 << (digit - 1);
+        values[cell] = digit;
+        candidates[cell] = 0;
+        for (int peer : PEERS[cell]) {
+            candidates[peer] &= ~bit;
+        }
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Places a digit in a cell that has only one candidate left.
+     */
+    private boolean nakedSingle() {
+        for (int i = 0; i < NUM_CELLS; i++) {
+            if (values[i] == 0 && Integer.bitCount(candidates[i]) == 1) {
+                place(i, Integer.numberOfTrailingZeros(candidates[i]) + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Places a digit that fits in only one cell of some unit.
+     */
+    private boolean hiddenSingle() {
+        for (int[] unit : UNITS) {
+            for (int d = 0; d < 9; d++) {
+                int bit = 1 << d;
+                int count = 0;
+                int last = -1;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        count++;
+                        last = cell;
+                    }
+                }
+                if (count == 1) {
+                    place(last, d + 1);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: If a digit's candidates in a box all lie on one row or column,
+     *              removes that digit from the rest of the row or column. The same
+     *              is done the other way round, from a row or column into a box.
+     */
+    private boolean lockedCandidates() {
+        for (int u = 0; u < 27; u++) {
+            for (int d = 0; d < 9; d++) {
+                int bit = 1 << d;
+                int rows = 0;
+                int cols = 0;
+                int boxes = 0;
+                for (int cell : UNITS[u]) {
+                    if ((candidates[cell] & bit) != 0) {
+                        rows |= 1 << row(cell);
+                        cols |= 1 << col(cell);
+                        boxes |= 1 << box(cell);
+                    }
+                }
+                if (rows == 0) {
+                    continue;
+                }
+                int[] target = null;
+                if (u >= 18 && Integer.bitCount(rows) == 1) {
+                    target = UNITS[Integer.numberOfTrailingZeros(rows)];
+                }
+                else if (u >= 18 && Integer.bitCount(cols) == 1) {
+                    target = UNITS[9 + Integer.numberOfTrailingZeros(cols)];
+                }
+                else if (u < 18 && Integer.bitCount(boxes) == 1) {
+                    target = UNITS[18 + Integer.numberOfTrailingZeros(boxes)];
+                }
+                if (target != null && eliminateOutside(target, UNITS[u], bit)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: If two cells in a unit share the same two candidates, removes
+     *              those candidates from the rest of the unit.
+     */
+    private boolean nakedPair() {
+        for (int[] unit : UNITS) {
+            for (int i = 0; i < 9; i++) {
+                int mask = candidates[unit[i]];
+                if (Integer.bitCount(mask) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < 9; j++) {
+                    if (candidates[unit[j]] != mask) {
+                        continue;
+                    }
+                    boolean changed = false;
+                    for (int k = 0; k < 9; k++) {
+                        int cell = unit[k];
+                        if (k != i && k != j && (candidates[cell] & mask) != 0) {
+                            candidates[cell] &= ~mask;
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: If two digits fit in only the same two cells of a unit, removes
+     *              every other candidate from those two cells.
+     */
+    private boolean hiddenPair() {
+        for (int[] unit : UNITS) {
+            // For each digit, a mask of the positions in the unit it can go in
+            int[] places = new int[9];
+            for (int k = 0; k < 9; k++) {
+                for (int d = 0; d < 9; d++) {
+                    if ((candidates[unit[k]] & (1 << d)) != 0) {
+                        places[d] |= 1 << k;
+                    }
+                }
+            }
+            for (int d1 = 0; d1 < 9; d1++) {
+                if (Integer.bitCount(places[d1]) != 2) {
+                    continue;
+                }
+                for (int d2 = d1 + 1; d2 < 9; d2++) {
+                    if (places[d2] != places[d1]) {
+                        continue;
+                    }
+                    int keep = (1 << d1) | (1 << d2);
+                    boolean changed = false;
+                    for (int k = 0; k < 9; k++) {
+                        int cell = unit[k];
+                        if ((places[d1] & (1 << k)) != 0 &&
+                                (candidates[cell] & ~keep) != 0) {
+                            candidates[cell] &= keep;
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: If a digit fits in exactly the same two columns of two rows,
+     *              removes it from the rest of those columns. The same is done with
+     *              rows and columns swapped.
+     */
+    private boolean xWing() {
+        for (int base = 0; base < 18; base += 9) {
+            for (int d = 0; d < 9; d++) {
+                int bit = 1 << d;
+                int[] places = new int[9];
+                for (int i = 0; i < 9; i++) {
+                    for (int k = 0; k < 9; k++) {
+                        if ((candidates[UNITS[base + i][k]] & bit) != 0) {
+                            places[i] |= 1 << k;
+                        }
+                    }
+                }
+                for (int i = 0; i < 9; i++) {
+                    if (Integer.bitCount(places[i]) != 2) {
+                        continue;
+                    }
+                    for (int j = i + 1; j < 9; j++) {
+                        if (places[j] != places[i]) {
+                            continue;
+                        }
+                        // The cover units are the columns (or rows) the wing spans
+                        int cover = 9 - base;
+                        boolean changed = false;
+                        for (int k = 0; k < 9; k++) {
+                            if ((places[i] & (1 << k)) == 0) {
+                                continue;
+                            }
+                            for (int m = 0; m < 9; m++) {
+                                int cell = UNITS[cover + k][m];
+                                if (m != i && m != j && (candidates[cell] & bit) != 0) {
+                                    candidates[cell] &= ~bit;
+                                    changed = true;
+                                }
+                            }
+                        }
+                        if (changed) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inputs: Two units and a digit bit
+     * Outputs: A boolean
+     * Description: Removes the digit from every cell of target that is not also in
+     *              source. Returns true if anything was removed.
+     */
+    private boolean eliminateOutside(int[] target, int[] source, int bit) {
+        boolean changed = false;
+        for (int cell : target) {
+            boolean inSource = false;
+            for (int s : source) {
+                if (s == cell) {
+                    inSource = true;
+                }
+            }
+            if (!inSource && (candidates[cell] & bit) != 0) {
+                candidates[cell] &= ~bit;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Searches for a solution without changing the grid, and keeps it
+     *              for guessing later. Returns false unless there is exactly one
+     *              solution, since a proper puzzle has only one.
+     */
+    private boolean findSolution() {
+        int[] savedValues = values.clone();
+        int[] savedCandidates = candidates.clone();
+        // Two solutions are enough to know the puzzle isn't proper
+        int found = countSolutions(2);
+        System.arraycopy(savedValues, 0, values, 0, NUM_CELLS);
+        System.arraycopy(savedCandidates, 0, candidates, 0, NUM_CELLS);
+        return found == 1;
+    }
+
+    /**
+     * Inputs: The number of solutions to stop at
+     * Outputs: An integer
+     * Description: Counts solutions by depth-first search, always trying the cell
+     *              with the fewest candidates first, and stops once limit have been
+     *              found. The first solution found is kept. Leaves the grid in an
+     *              unknown state, so the caller must restore it.
+     */
+    private int countSolutions(int limit) {
+        int best = -1;
+        for (int i = 0; i < NUM_CELLS; i++) {
+            if (values[i] == 0) {
+                if (candidates[i] == 0) {
+                    return 0;
+                }
+                if (best == -1 ||
+                        Integer.bitCount(candidates[i]) <
+                        Integer.bitCount(candidates[best])) {
+                    best = i;
+                }
+            }
+        }
+        if (best == -1) {
+            if (solution == null) {
+                solution = values.clone();
+            }
+            return 1;
+        }
+        int[] savedValues = values.clone();
+        int[] savedCandidates = candidates.clone();
+        int mask = candidates[best];
+        int found = 0;
+        while (mask != 0 && found < limit) {
+            int d = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            place(best, d + 1);
+            found += countSolutions(limit - found);
+            System.arraycopy(savedValues, 0, values, 0, NUM_CELLS);
+            System.arraycopy(savedCandidates, 0, candidates, 0, NUM_CELLS);
+        }
+        return found;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: N/A
+     * Description: Fills in the empty cell with the fewest candidates, using the
+     *              digit from the solution, the way a player would guess a cell
+     *              and later find out they were right.
+     */
+    private void guess() {
+        int best = -1;
+        for (int i = 0; i < NUM_CELLS; i++) {
+            if (values[i] == 0 && (best == -1 ||
+                    Integer.bitCount(candidates[i]) <
+                    Integer.bitCount(candidates[best]))) {
+                best = i;
+            }
+        }
+        place(best, solution[best]);
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Checks if every cell has been filled in.
+     */
+    private boolean isSolved() {
+        for (int i = 0; i < NUM_CELLS; i++) {
+            if (values[i] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Inputs: N/A
+     * Outputs: A boolean
+     * Description: Checks if an empty cell has run out of candidates, or if a unit
+     *              has a digit that can no longer be placed anywhere.
+     */
+    private boolean hasContradiction() {
+        for (int i = 0; i < NUM_CELLS; i++) {
+            if (values[i] == 0 && candidates[i] == 0) {
+                return true;
+            }
+        }
+        for (int[] unit : UNITS) {
+            int placed = 0;
+            int possible = 0;
+            for (int cell : unit) {
+                if (values[cell] != 0) {
+                    int bit = 1 << (values[cell] - 1);
+                    // The same digit placed twice in one unit
+                    if ((placed & bit) != 0) {
+                        return true;
+                    }
+                    placed |= bit;
+                }
+                possible |= candidates[cell];
+            }
+            if ((placed | possible) != ALL_DIGITS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inputs: An integer cell index
+     * Outputs: An integer
+     * Description: Returns the row (0-8) of a cell index.
+     */
+    private static int row(int cell) {
+        return cell / 9;
+    }
+
+    /**
+     * Inputs: An integer cell index
+     * Outputs: An integer
+     * Description: Returns the column (0-8) of a cell index.
+     */
+    private static int col(int cell) {
+        return cell % 9;
+    }
+
+    /**
+     * Inputs: An integer cell index
+     * Outputs: An integer
+     * Description: Returns the 3x3 square (0-8) of a cell index, counted row by
+     *              row from the top left.
+     */
+    private static int box(int cell) {
+        return (cell / 27) * 3 + (cell % 9) / 3;
+    }
+
+    public static void main(String[] args) {
+        SudokuSolver solver = new SudokuSolver(args[0]);
+        if (!solver.solve()) {
+            System.out.println("No unique solution");
+        }
+        else if (solver.getHardest() == null) {
+            System.out.println("Puzzle is already full");
+        }
+        else {
+            System.out.println(solver.getGrid());
+            System.out.println("Hardest: " + solver.getHardest().getLabel() +
+                    ", steps: " + solver.getSteps() + ", score: " +
+                    solver.getScore());
+        }
+    }
+}
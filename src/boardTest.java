@@ -1,6 +1,10 @@
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 public class boardTest {
     @Test
     public void testGetRow() {
@@ -10,4 +14,37 @@ public class boardTest {
 
         assertEquals(expected, actual, 0.01);
     }
+
+    @Test
+    public void testPlacingDigitPrunesPeerNotes() throws IOException {
+        // The example puzzle, with every row padded to 9 characters
+        String puzzle = "53  7    \n6  195   \n 98    6 \n8   6   3\n4  8 3  1\n" +
+                "7   2   6\n 6    28 \n   419  5\n    8  79";
+        Path file = Files.createTempFile("board", ".txt");
+        try {
+            Files.writeString(file, puzzle);
+            SudokuBoard board = new SudokuBoard(file.toString());
+
+            // The cell in row r and column c is clicked at x = c and y = 8 - r
+            board.toggleNote(8, 8, '4');  // row 0, column 8: same row
+            board.toggleNote(2, 4, '4');  // row 4, column 2: same column
+            board.toggleNote(1, 7, '4');  // row 1, column 1: same 3x3 square
+            board.toggleNote(4, 4, '4');  // row 4, column 4: not a peer
+            board.toggleNote(4, 4, '6');
+
+            // Place a 4 in row 0, column 2
+            board.updateCell(2, 8, '4');
+
+            assertEquals(0, board.getNotes(0, 8));
+            assertEquals(0, board.getNotes(4, 2));
+            assertEquals(0, board.getNotes(1, 1));
+            int expected = (1 << 3) | (1 << 5);
+            int actual = board.getNotes(4, 4);
+
+            assertEquals(expected, actual);
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
 }
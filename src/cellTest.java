@@ -0,0 +1,56 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class cellTest {
+    @Test
+    public void testToggleNote() {
+        Cell cell = new Cell(0, 0, ' ', 0.5, true);
+        cell.toggleNote(1);
+        cell.toggleNote(9);
+        int expected = 0b100000001;
+        int actual = cell.getNotes();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testRemoveNote() {
+        Cell cell = new Cell(0, 0, ' ', 0.5, true);
+        cell.toggleNote(5);
+
+        assertTrue(cell.removeNote(5));
+        assertFalse(cell.removeNote(5));
+        assertEquals(0, cell.getNotes());
+    }
+
+    @Test
+    public void testNotesChangedFlag() {
+        Cell cell = new Cell(0, 0, ' ', 0.5, true);
+        assertFalse(cell.notesChanged());
+
+        cell.toggleNote(3);
+        assertTrue(cell.notesChanged());
+
+        // Drawing the notes means they no longer need to be redrawn
+        cell.drawNotes(0, 0);
+        assertFalse(cell.notesChanged());
+
+        cell.removeNote(3);
+        assertTrue(cell.notesChanged());
+        cell.drawNotes(0, 0);
+
+        cell.toggleNote(4);
+        cell.drawNotes(0, 0);
+        cell.clearNotes();
+        assertTrue(cell.notesChanged());
+    }
+
+    @Test
+    public void testNoChangeKeepsFlagClear() {
+        Cell cell = new Cell(0, 0, ' ', 0.5, true);
+        cell.removeNote(5);
+        cell.clearNotes();
+
+        assertFalse(cell.notesChanged());
+    }
+}
@@ -0,0 +1,143 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class raterTest {
+    // The puzzle from SudokuExample.txt, written as 81 characters
+    private static final String EXAMPLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6" +
+            ".6....28....419..5....8..79";
+
+    // The solution to the example puzzle
+    private static final String EXAMPLE_SOLUTION =
+            "534678912672195348198342567859761423426853791713924856" +
+            "961537284287419635345286179";
+
+    /**
+     * Writes the given text to a temporary puzzle file, rates it, and returns the
+     * output lines. Both temporary files are deleted afterwards.
+     */
+    private static List<String> rateText(String text) throws IOException {
+        Path input = Files.createTempFile("puzzles", ".txt");
+        Path output = Files.createTempFile("ratings", ".txt");
+        try {
+            Files.writeString(input, text);
+            new SudokuRater().rateFile(input.toString(), output.toString(), 2);
+            return Files.readAllLines(output);
+        }
+        finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    public void testExampleIsEasy() {
+        SudokuRater.Rating rating = SudokuRater.solveAndRate(EXAMPLE);
+        String expected = "Easy";
+        String actual = rating.getDifficulty();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testMultipleSolutionsAreInvalid() {
+        String empty = ".".repeat(SudokuSolver.NUM_CELLS);
+        SudokuRater.Rating rating = SudokuRater.solveAndRate(empty);
+
+        assertEquals(SudokuRater.INVALID, rating.getDifficulty());
+    }
+
+    @Test
+    public void testCacheHit() {
+        SudokuRater rater = new SudokuRater();
+        rater.rate(EXAMPLE);
+        rater.rate(EXAMPLE.replace('.', '0'));
+
+        assertEquals(1, rater.getCacheHits());
+    }
+
+    @Test
+    public void testRateNineLineFile() throws IOException {
+        // The first puzzle's top row is all blanks, so it is saved as an empty line
+        String first = "........." + EXAMPLE_SOLUTION.substring(9);
+        StringBuilder file = new StringBuilder("\n");
+        for (int row = 1; row < 9; row++) {
+            file.append(EXAMPLE_SOLUTION, row * 9, row * 9 + 9).append('\n');
+        }
+        for (int row = 0; row < 9; row++) {
+            file.append(EXAMPLE.substring(row * 9, row * 9 + 9).replace('.', ' ')
+                    .replaceAll(" +$", "")).append('\n');
+        }
+        List<String> lines = rateText(file.toString());
+
+        // Results come out in the same order as the puzzles went in
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith(first + "\tEasy"));
+        assertTrue(lines.get(1).startsWith(EXAMPLE + "\tEasy"));
+    }
+
+    @Test
+    public void testTrailingSpaceKeepsLinesApart() throws IOException {
+        StringBuilder file = new StringBuilder(EXAMPLE + " \n");
+        for (int i = 0; i < 10; i++) {
+            file.append(EXAMPLE).append('\n');
+        }
+        List<String> lines = rateText(file.toString());
+
+        // Every input line gets its own output line
+        assertEquals(11, lines.size());
+        for (String line : lines) {
+            assertTrue(line.startsWith(EXAMPLE + "\tEasy"));
+        }
+    }
+
+    @Test
+    public void testMalformedLineIsOwnEntry() throws IOException {
+        String file = EXAMPLE + "\n" + "this line is too long to be a row\n" +
+                EXAMPLE + "\n";
+        List<String> lines = rateText(file);
+
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith(EXAMPLE + "\tEasy"));
+        assertTrue(lines.get(1).contains("\t" + SudokuRater.INVALID + "\t"));
+        assertTrue(lines.get(2).startsWith(EXAMPLE + "\tEasy"));
+    }
+
+    @Test
+    public void testBlankLineBetweenNineLinePuzzles() throws IOException {
+        StringBuilder puzzle = new StringBuilder();
+        for (int row = 0; row < 9; row++) {
+            puzzle.append(EXAMPLE.substring(row * 9, row * 9 + 9).replace('.', ' ')
+                    .replaceAll(" +$", "")).append('\n');
+        }
+        List<String> lines = rateText(puzzle + "\n" + puzzle + "\n");
+
+        // The empty line between the puzzles is a separator, not a row
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith(EXAMPLE + "\tEasy"));
+        assertTrue(lines.get(1).startsWith(EXAMPLE + "\tEasy"));
+    }
+
+    @Test
+    public void testPickPuzzleByDifficulty() throws IOException {
+        Path input = Files.createTempFile("puzzles", ".txt");
+        Path output = Files.createTempFile("ratings", ".txt");
+        try {
+            String empty = ".".repeat(SudokuSolver.NUM_CELLS);
+            Files.writeString(input, empty + "\n" + EXAMPLE + "\n");
+            new SudokuRater().rateFile(input.toString(), output.toString(), 2);
+
+            assertEquals(EXAMPLE, SudokuRater.pickPuzzle(output.toString(), "easy"));
+            assertNull(SudokuRater.pickPuzzle(output.toString(), "Hard"));
+        }
+        finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class solverTest {
+    // The puzzle from SudokuExample.txt, written as 81 characters
+    private static final String EXAMPLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6" +
+            ".6....28....419..5....8..79";
+
+    // The solution to the example puzzle
+    private static final String EXAMPLE_SOLUTION =
+            "534678912672195348198342567859761423426853791713924856" +
+            "961537284287419635345286179";
+
+    // Puzzles whose hardest needed technique is the one in the name
+    private static final String HIDDEN_SINGLE =
+            ".....195.3.2.98.4.........7...7.5..6.2....79..5...4....." +
+            "5........74..3..6....3...";
+    private static final String LOCKED_CANDIDATES =
+            ".......69.89..2..361.....5.....5...7.9.3........19.3.51.." +
+            "2.8....3.......7.....68.";
+    private static final String NAKED_PAIR =
+            ".6.9..5....8..1....53...1........4...8.3.675.7....4.1..9." +
+            "...83.83.42.9...........";
+    private static final String HIDDEN_PAIR =
+            "3..7.6...7...4.2....6.8...1.....589..97...14...2........." +
+            "321.6....8..7........5.4";
+    private static final String X_WING =
+            ".5...9......8...2..4.52.3.....1..2...6.9.5.4..........47" +
+            "8........12....3..3..78.4";
+    private static final String TRIAL_AND_ERROR =
+            "..4..5.1..7...8...1..3........76..9.4.6...7.1.13.9....2.." +
+            "....54.....2..83..9.....";
+
+    /**
+     * Solves a puzzle and returns the hardest technique it needed.
+     */
+    private static SudokuSolver.Technique hardest(String puzzle) {
+        SudokuSolver solver = new SudokuSolver(puzzle);
+        assertTrue(solver.solve());
+        return solver.getHardest();
+    }
+
+    @Test
+    public void testExampleSolution() {
+        SudokuSolver solver = new SudokuSolver(EXAMPLE);
+        solver.solve();
+
+        assertEquals(EXAMPLE_SOLUTION, solver.getGrid());
+        assertEquals(SudokuSolver.Technique.NAKED_SINGLE, solver.getHardest());
+    }
+
+    @Test
+    public void testHiddenSingle() {
+        assertEquals(SudokuSolver.Technique.HIDDEN_SINGLE, hardest(HIDDEN_SINGLE));
+    }
+
+    @Test
+    public void testLockedCandidates() {
+        assertEquals(SudokuSolver.Technique.LOCKED_CANDIDATES,
+                hardest(LOCKED_CANDIDATES));
+    }
+
+    @Test
+    public void testNakedPair() {
+        assertEquals(SudokuSolver.Technique.NAKED_PAIR, hardest(NAKED_PAIR));
+    }
+
+    @Test
+    public void testHiddenPair() {
+        assertEquals(SudokuSolver.Technique.HIDDEN_PAIR, hardest(HIDDEN_PAIR));
+    }
+
+    @Test
+    public void testXWing() {
+        assertEquals(SudokuSolver.Technique.X_WING, hardest(X_WING));
+    }
+
+    @Test
+    public void testTrialAndError() {
+        SudokuSolver solver = new SudokuSolver(TRIAL_AND_ERROR);
+        assertTrue(solver.solve());
+
+        assertEquals(SudokuSolver.Technique.TRIAL_AND_ERROR, solver.getHardest());
+        // Every guess is its own step, followed by more human steps
+        assertTrue(solver.getSteps() > 1);
+    }
+
+    /**
+     * Solves a puzzle and returns its score.
+     */
+    private static int score(String puzzle) {
+        SudokuSolver solver = new SudokuSolver(puzzle);
+        assertTrue(solver.solve());
+        return solver.getScore();
+    }
+
+    @Test
+    public void testHarderPuzzleScoresHigher() {
+        int easy = score(EXAMPLE);
+        int medium = score(LOCKED_CANDIDATES);
+        int hard = score(X_WING);
+        int expert = score(TRIAL_AND_ERROR);
+
+        assertTrue(easy < medium);
+        assertTrue(medium < hard);
+        assertTrue(hard < expert);
+    }
+
+    @Test
+    public void testRepeatedGivensHaveNoSolution() {
+        String puzzle = "11" + EXAMPLE.substring(2);
+        SudokuSolver solver = new SudokuSolver(puzzle);
+
+        assertFalse(solver.solve());
+    }
+
+    @Test
+    public void testMultipleSolutionsAreRejected() {
+        String empty = ".".repeat(SudokuSolver.NUM_CELLS);
+        SudokuSolver solver = new SudokuSolver(empty);
+
+        assertFalse(solver.solve());
+    }
+}